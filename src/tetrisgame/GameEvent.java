@@ -0,0 +1,43 @@
+package tetrisgame;
+
+// Evento del juego. Las instancias se preasignan en el buffer circular de
+// GameEventBus y se reutilizan, por lo que los suscriptores no deben
+// guardar referencias a ellas fuera de onEvent.
+public final class GameEvent {
+
+    // Tipos de eventos publicados por el juego
+    public enum Type {
+        PIECE_SPAWNED,  // value = tipo de pieza (1-7)
+        PIECE_LOCKED,   // value = tipo de pieza (1-7)
+        LINES_CLEARED,  // value = líneas eliminadas, extra = puntos obtenidos
+        SCORE_CHANGED,  // value = puntaje actual
+        LEVEL_UP,       // value = nivel alcanzado, extra = nuevo retraso en ms
+        GAME_OVER       // value = puntaje final, extra = récord vigente
+    }
+
+    private Type type;
+    private int value;
+    private int extra;
+
+    GameEvent() {
+    }
+
+    // Rellenar el evento antes de publicarlo (solo desde el productor)
+    void set(Type type, int value, int extra) {
+        this.type = type;
+        this.value = value;
+        this.extra = extra;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    public int getExtra() {
+        return extra;
+    }
+}
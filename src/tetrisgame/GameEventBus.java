@@ -0,0 +1,150 @@
+package tetrisgame;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Bus de eventos del juego respaldado por un buffer circular con un único
+// productor (el hilo del temporizador / EDT) y consumidores por lotes.
+// Publicar no reserva memoria ni espera a los suscriptores salvo que el
+// buffer esté lleno, así que un suscriptor lento no frena la gravedad.
+public class GameEventBus {
+
+    private final GameEvent[] ring;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong(-1); // Último evento publicado
+    private final ArrayList<Consumer> consumers = new ArrayList<>();
+    private long nextSequence = 0; // Solo lo usa el productor
+    private boolean started = false;
+
+    // La capacidad se redondea a la siguiente potencia de dos
+    public GameEventBus(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        ring = new GameEvent[size];
+        mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            ring[i] = new GameEvent();
+        }
+    }
+
+    // Registrar un suscriptor (antes de llamar a start)
+    public void subscribe(String name, GameEventHandler handler) {
+        if (started) {
+            throw new IllegalStateException("El bus ya está iniciado");
+        }
+        consumers.add(new Consumer(name, handler));
+    }
+
+    // Arrancar los hilos de los suscriptores
+    public void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        for (Consumer consumer : consumers) {
+            consumer.thread.start();
+        }
+    }
+
+    // Atajos para cada tipo de evento
+    public void pieceSpawned(int pieceType) {
+        publish(GameEvent.Type.PIECE_SPAWNED, pieceType, 0);
+    }
+
+    public void pieceLocked(int pieceType) {
+        publish(GameEvent.Type.PIECE_LOCKED, pieceType, 0);
+    }
+
+    public void linesCleared(int lines, int points) {
+        publish(GameEvent.Type.LINES_CLEARED, lines, points);
+    }
+
+    public void scoreChanged(int score) {
+        publish(GameEvent.Type.SCORE_CHANGED, score, 0);
+    }
+
+    public void levelUp(int level, int delay) {
+        publish(GameEvent.Type.LEVEL_UP, level, delay);
+    }
+
+    public void gameOver(int score, int highScore) {
+        publish(GameEvent.Type.GAME_OVER, score, highScore);
+    }
+
+    // Publicar un evento. Solo debe llamarse desde un único hilo productor.
+    public void publish(GameEvent.Type type, int value, int extra) {
+        long sequence = nextSequence++;
+
+        // Esperar solo si el buffer está lleno (el consumidor más lento
+        // todavía no ha procesado el evento que vamos a sobrescribir)
+        long wrapPoint = sequence - ring.length;
+        while (wrapPoint > minConsumerSequence()) {
+            Thread.yield();
+        }
+
+        ring[(int) sequence & mask].set(type, value, extra);
+        cursor.set(sequence);
+
+        for (Consumer consumer : consumers) {
+            LockSupport.unpark(consumer.thread);
+        }
+    }
+
+    // Esperar a que los suscriptores procesen todo lo publicado hasta ahora,
+    // por ejemplo antes de salir. Devuelve false si vence el plazo.
+    public boolean awaitDrained(long timeoutMillis) {
+        long published = cursor.get();
+        long deadline = System.nanoTime() + timeoutMillis * 1000000L;
+        while (minConsumerSequence() < published) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(1000000L);
+        }
+        return true;
+    }
+
+    // Secuencia del suscriptor más atrasado
+    private long minConsumerSequence() {
+        long min = Long.MAX_VALUE;
+        for (Consumer consumer : consumers) {
+            min = Math.min(min, consumer.sequence.get());
+        }
+        return min == Long.MAX_VALUE ? cursor.get() : min;
+    }
+
+    // Hilo consumidor: procesa por lotes todos los eventos disponibles
+    private class Consumer implements Runnable {
+        private final GameEventHandler handler;
+        private final AtomicLong sequence = new AtomicLong(-1); // Último evento procesado
+        private final Thread thread;
+
+        Consumer(String name, GameEventHandler handler) {
+            this.handler = handler;
+            thread = new Thread(this, "GameEventBus-" + name);
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            while (true) {
+                long available = cursor.get();
+                if (available < next) {
+                    LockSupport.park(this);
+                    continue;
+                }
+
+                for (long s = next; s <= available; s++) {
+                    try {
+                        handler.onEvent(ring[(int) s & mask], s, s == available);
+                    } catch (RuntimeException e) {
+                        System.err.println("Error en suscriptor " + thread.getName() + ": " + e.getMessage());
+                    }
+                }
+                sequence.set(available);
+                next = available + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package tetrisgame;
+
+// Suscriptor de eventos del juego. Cada suscriptor se ejecuta en su propio
+// hilo, fuera del temporizador del juego.
+public interface GameEventHandler {
+
+    // endOfBatch indica que es el último evento disponible por ahora, lo que
+    // permite agrupar trabajo costoso (repintar, escribir a disco, etc.)
+    void onEvent(GameEvent event, long sequence, boolean endOfBatch);
+}
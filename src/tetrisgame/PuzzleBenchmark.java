@@ -0,0 +1,149 @@
+package tetrisgame;
+
+// Banco de pruebas del solucionador de puzzles. Resuelve un pequeño
+// conjunto de tableros con 1, 2, 4... hasta N hilos e informa de los nodos
+// por segundo y de la aceleración respecto a un solo hilo.
+//
+// Uso: java -cp build/classes tetrisgame.PuzzleBenchmark [hilos] [repeticiones]
+public class PuzzleBenchmark {
+
+    private static final String PIECE_NAMES = "IJLOSTZ";
+
+    // Puzzles de prueba: nombre, tablero (# = bloque, . = vacío, solo las
+    // filas inferiores), piezas y líneas a eliminar
+    private static final Object[][] PUZZLES = {
+        {
+            "tetris",
+            new String[] {
+                "#########.",
+                "#########.",
+                "#########.",
+                "#########."
+            },
+            "I", 4
+        },
+        {
+            "escalera",
+            new String[] {
+                "......####",
+                "...#######",
+                "##.#######",
+                "##.#######"
+            },
+            "LJOTIS", 3
+        },
+        {
+            "pozo-doble",
+            new String[] {
+                "##..##..##",
+                "##..##..##",
+                "###.##.###",
+                "###.##.###"
+            },
+            "OOJLIT", 4
+        },
+        {
+            "mezcla",
+            new String[] {
+                "..........",
+                "#...#....#",
+                "##.###.###",
+                "##.###.###",
+                "###.######"
+            },
+            "TSZLJIO", 3
+        },
+        {
+            "imposible",
+            new String[] {
+                ".#........",
+                ".#........",
+                "#.########",
+                "#.########",
+                "#.########"
+            },
+            "ZSTOJ", 2
+        }
+    };
+
+    public static void main(String[] args) {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int repeats = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        PuzzleSolver[] solvers = new PuzzleSolver[PUZZLES.length];
+        for (int p = 0; p < PUZZLES.length; p++) {
+            solvers[p] = new PuzzleSolver(parseBoard((String[]) PUZZLES[p][1]),
+                    parsePieces((String) PUZZLES[p][2]), (Integer) PUZZLES[p][3]);
+        }
+
+        // Mostrar la solución de cada puzzle
+        for (int p = 0; p < PUZZLES.length; p++) {
+            PuzzleSolver.Result result = solvers[p].solve(1);
+            System.out.println(PUZZLES[p][0] + ": " + (result.isSolved() ? result.getPlacements() : "sin solución"));
+        }
+        System.out.println();
+
+        // Calentamiento del JIT
+        runAll(solvers, maxThreads);
+
+        System.out.printf("%-8s %12s %12s %14s %10s%n", "hilos", "nodos", "tiempo ms", "nodos/s", "acel.");
+        double baseMillis = 0;
+        for (int threads = 1; threads <= maxThreads; threads = nextThreadCount(threads, maxThreads)) {
+            long totalNodes = 0;
+            long totalNanos = 0;
+            for (int r = 0; r < repeats; r++) {
+                long[] run = runAll(solvers, threads);
+                totalNodes += run[0];
+                totalNanos += run[1];
+            }
+            double millis = totalNanos / 1e6 / repeats;
+            if (threads == 1) {
+                baseMillis = millis;
+            }
+            System.out.printf("%-8d %12d %12.1f %14.0f %9.2fx%n", threads, totalNodes / repeats, millis,
+                    totalNodes * 1e9 / totalNanos, baseMillis / millis);
+        }
+    }
+
+    // Resolver todos los puzzles; devuelve {nodos, nanosegundos}
+    private static long[] runAll(PuzzleSolver[] solvers, int threads) {
+        long nodes = 0;
+        long nanos = 0;
+        for (PuzzleSolver solver : solvers) {
+            PuzzleSolver.Result result = solver.solve(threads);
+            nodes += result.getNodes();
+            nanos += result.getElapsedNanos();
+        }
+        return new long[] {nodes, nanos};
+    }
+
+    // 1, 2, 4, 8... terminando siempre en el máximo
+    private static int nextThreadCount(int threads, int maxThreads) {
+        if (threads == maxThreads) {
+            return maxThreads + 1;
+        }
+        return Math.min(threads * 2, maxThreads);
+    }
+
+    // Convertir las filas inferiores a un tablero de 20x10 como GameCanvas.board
+    private static int[][] parseBoard(String[] bottomRows) {
+        int[][] board = new int[20][10];
+        int offset = board.length - bottomRows.length;
+        for (int i = 0; i < bottomRows.length; i++) {
+            for (int j = 0; j < bottomRows[i].length(); j++) {
+                if (bottomRows[i].charAt(j) == '#') {
+                    board[offset + i][j] = 1; // Cualquier valor distinto de 0
+                }
+            }
+        }
+        return board;
+    }
+
+    private static int[] parsePieces(String names) {
+        int[] pieces = new int[names.length()];
+        for (int i = 0; i < names.length(); i++) {
+            pieces[i] = PIECE_NAMES.indexOf(names.charAt(i)) + 1;
+        }
+        return pieces;
+    }
+}
@@ -0,0 +1,510 @@
+package tetrisgame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Solucionador de puzzles "limpia este tablero". Recibe un tablero con el
+// mismo formato que GameCanvas.board (filas de arriba a abajo, 0 = vacío)
+// y una secuencia fija de piezas, y busca dónde colocar cada pieza para
+// eliminar un número de líneas.
+//
+// Los movimientos son los del juego: cada pieza aparece donde la coloca
+// GameCanvas.createNewPiece y puede moverse a los lados y girar a cualquier
+// altura mientras cae, así que se incluyen los deslizamientos bajo
+// salientes. Se supone que entre dos pasos de la gravedad hay tiempo para
+// cualquier número de movimientos. Si una pieza no cabe al aparecer, la
+// partida termina. Con estas reglas, si la búsqueda termina sin solución
+// queda demostrado que no existe ninguna.
+public class PuzzleSolver {
+
+    private static final int SPLIT_DEPTH = 2; // Profundidad hasta la que se reparten tareas entre hilos
+    private static final int X_OFFSET = 3; // Desplazamiento para x negativas (la forma tiene hasta 4 columnas)
+
+    private final int width;
+    private final int height;
+    private final int fullRow;
+    private final int[] initialRows;
+    private final int[] pieces;
+    private final int targetLines;
+    private final Orientation[][] orientations; // Las cuatro rotaciones por tipo de pieza
+    private final int[] spawnX; // Columna inicial por tipo de pieza, como en createNewPiece
+
+    // Estado compartido de una búsqueda
+    private Set<BoardKey> visited;
+    private LongAdder nodes;
+    private AtomicReference<Step> solution;
+
+    public PuzzleSolver(int[][] board, int[] pieces, int targetLines) {
+        if (board.length == 0 || board[0].length == 0 || board[0].length > 31) {
+            throw new IllegalArgumentException("Tamaño de tablero no válido");
+        }
+        for (int[] row : board) {
+            if (row.length != board[0].length) {
+                throw new IllegalArgumentException("Todas las filas del tablero deben tener el mismo ancho");
+            }
+        }
+        height = board.length;
+        width = board[0].length;
+        fullRow = (1 << width) - 1;
+        this.pieces = pieces.clone();
+        this.targetLines = targetLines;
+
+        // Convertir el tablero a una máscara de bits por fila
+        initialRows = new int[height];
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                if (board[i][j] != 0) {
+                    initialRows[i] |= 1 << j;
+                }
+            }
+        }
+
+        orientations = new Orientation[8][];
+        spawnX = new int[8];
+        for (int type : this.pieces) {
+            if (type < 1 || type > 7) {
+                throw new IllegalArgumentException("Tipo de pieza no válido: " + type);
+            }
+            if (orientations[type] == null) {
+                orientations[type] = buildOrientations(type);
+                spawnX[type] = width / 2 - TetrisGame.Shape.getRotations(type)[0][0].length / 2;
+            }
+        }
+    }
+
+    // Resolver usando el número de hilos indicado
+    public synchronized Result solve(int threads) {
+        visited = ConcurrentHashMap.newKeySet();
+        nodes = new LongAdder();
+        solution = new AtomicReference<>();
+
+        long start = System.nanoTime();
+        if (targetLines <= 0) {
+            solution.set(new Step(null, null));
+        } else if (pieces.length > 0) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                pool.invoke(new SearchTask(initialRows, 0, 0, null));
+            } finally {
+                pool.shutdown();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Step last = solution.get();
+        List<Placement> placements = null;
+        if (last != null) {
+            placements = new ArrayList<>();
+            for (Step step = last; step != null && step.placement != null; step = step.parent) {
+                placements.add(step.placement);
+            }
+            Collections.reverse(placements);
+        }
+        return new Result(placements, nodes.sum(), elapsed);
+    }
+
+    // Tarea de búsqueda en profundidad a partir de un estado
+    private class SearchTask extends RecursiveAction {
+        private final int[] rows;
+        private final int depth;
+        private final int cleared;
+        private final Step path;
+
+        SearchTask(int[] rows, int depth, int cleared, Step path) {
+            this.rows = rows;
+            this.depth = depth;
+            this.cleared = cleared;
+            this.path = path;
+        }
+
+        @Override
+        protected void compute() {
+            if (depth >= SPLIT_DEPTH) {
+                search(rows, depth, cleared, path);
+                return;
+            }
+
+            // En los primeros niveles repartir cada hijo como una tarea
+            ArrayList<SearchTask> children = new ArrayList<>();
+            expand(rows, depth, cleared, path, children);
+            invokeAll(children);
+        }
+    }
+
+    // Búsqueda secuencial; devuelve true si se encontró una solución
+    private boolean search(int[] rows, int depth, int cleared, Step path) {
+        return expand(rows, depth, cleared, path, null);
+    }
+
+    // Generar los hijos de un estado. Si children es null se exploran
+    // recursivamente en este hilo; si no, se añaden como tareas.
+    private boolean expand(int[] rows, int depth, int cleared, Step path, List<SearchTask> children) {
+        if (solution.get() != null) {
+            return true;
+        }
+        nodes.increment();
+
+        int type = pieces[depth];
+        for (int lock : lockPositions(rows, type)) {
+            int rotation = lock / (height * columns());
+            int x = lock / height % columns() - X_OFFSET;
+            int y = lock % height;
+            Orientation o = orientations[type][rotation];
+
+            int[] next = place(rows, o, x + o.minCol, y + o.minRow);
+            int lines = height - next.length;
+            int[] board = next;
+            if (lines > 0) {
+                board = new int[height];
+                System.arraycopy(next, 0, board, lines, next.length);
+            }
+            int total = cleared + lines;
+            Step step = new Step(path, new Placement(type, rotation, x, y));
+
+            if (total >= targetLines) {
+                solution.compareAndSet(null, step);
+                return true;
+            }
+            if (depth + 1 >= pieces.length || !canStillClear(board, pieces.length - depth - 1, targetLines - total)) {
+                continue;
+            }
+            if (!visited.add(new BoardKey(board, depth + 1, total))) {
+                continue;
+            }
+
+            if (children != null) {
+                children.add(new SearchTask(board, depth + 1, total, step));
+            } else if (search(board, depth + 1, total, step)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Poda: cada línea eliminada necesita que las piezas rellenen sus huecos,
+    // así que las piezas restantes deben cubrir al menos los huecos de las
+    // filas más llenas
+    private boolean canStillClear(int[] rows, int piecesLeft, int linesNeeded) {
+        int[] countByEmpty = new int[width + 1];
+        for (int row : rows) {
+            countByEmpty[width - Integer.bitCount(row)]++;
+        }
+
+        int cellsNeeded = 0;
+        int remaining = linesNeeded;
+        for (int empty = 1; empty <= width && remaining > 0; empty++) {
+            int take = Math.min(countByEmpty[empty], remaining);
+            cellsNeeded += take * empty;
+            remaining -= take;
+        }
+        cellsNeeded += remaining * width; // Filas nuevas que entran vacías por arriba
+        return cellsNeeded <= piecesLeft * 4;
+    }
+
+    // Columnas posibles de la esquina de la forma (x puede ser negativa)
+    private int columns() {
+        return width + X_OFFSET + 1;
+    }
+
+    // Posiciones donde la pieza puede quedar fijada, codificadas como
+    // (giro * columnas + x + X_OFFSET) * alto + y en coordenadas de
+    // GameCanvas. Se recorren todos los estados alcanzables desde la
+    // posición inicial moviendo, girando y bajando; una posición queda
+    // fijada cuando la pieza ya no puede bajar. Dos posiciones que ocupan
+    // las mismas celdas se cuentan una sola vez.
+    private int[] lockPositions(int[] rows, int type) {
+        Orientation[] rotations = orientations[type];
+        int columns = columns();
+        if (!fitsAt(rows, rotations[0], spawnX[type], 0)) {
+            return new int[0]; // Fin de la partida
+        }
+
+        // Por encima de la fila más alta ocupada solo importan los bordes,
+        // así que lo alcanzable en la fila 0 puede bajar directamente hasta
+        // justo encima de los bloques
+        int surface = 0;
+        while (surface < height && rows[surface] == 0) {
+            surface++;
+        }
+        int startY = Math.max(0, surface - 4);
+
+        int[] queue = new int[4 * columns * height];
+        boolean[] seen = new boolean[queue.length];
+        int head = 0;
+        int tail = 0;
+
+        // Giros y desplazamientos en la fila 0
+        boolean[] seenTop = new boolean[4 * columns];
+        int[] topQueue = new int[4 * columns];
+        int topTail = 0;
+        topQueue[topTail++] = spawnX[type] + X_OFFSET;
+        seenTop[spawnX[type] + X_OFFSET] = true;
+        for (int i = 0; i < topTail; i++) {
+            int r = topQueue[i] / columns;
+            int x = topQueue[i] % columns - X_OFFSET;
+            int state = (r * columns + x + X_OFFSET) * height + startY;
+            seen[state] = true;
+            queue[tail++] = state;
+
+            int[][] moves = {{r, x - 1}, {r, x + 1}, {(r + 1) % 4, x}, {(r + 3) % 4, x}};
+            for (int[] move : moves) {
+                int index = move[0] * columns + move[1] + X_OFFSET;
+                if (move[1] + X_OFFSET >= 0 && move[1] + X_OFFSET < columns && !seenTop[index]
+                        && fitsAt(rows, rotations[move[0]], move[1], 0)) {
+                    seenTop[index] = true;
+                    topQueue[topTail++] = index;
+                }
+            }
+        }
+
+        // Recorrido completo desde startY hasta el fondo
+        int[] locks = new int[queue.length];
+        int lockCount = 0;
+        boolean[] lockedCells = new boolean[4 * width * height];
+        while (head < tail) {
+            int state = queue[head++];
+            int r = state / (height * columns);
+            int x = state / height % columns - X_OFFSET;
+            int y = state % height;
+
+            if (!fitsAt(rows, rotations[r], x, y + 1)) {
+                Orientation o = rotations[r];
+                int cells = (o.shapeId * width + x + o.minCol) * height + y + o.minRow;
+                if (!lockedCells[cells]) {
+                    lockedCells[cells] = true;
+                    locks[lockCount++] = state;
+                }
+            }
+
+            int[][] moves = {{r, x - 1, y}, {r, x + 1, y}, {(r + 1) % 4, x, y}, {(r + 3) % 4, x, y}, {r, x, y + 1}};
+            for (int[] move : moves) {
+                if (move[1] + X_OFFSET < 0 || move[1] + X_OFFSET >= columns || move[2] >= height) {
+                    continue;
+                }
+                int next = (move[0] * columns + move[1] + X_OFFSET) * height + move[2];
+                if (!seen[next] && fitsAt(rows, rotations[move[0]], move[1], move[2])) {
+                    seen[next] = true;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return Arrays.copyOf(locks, lockCount);
+    }
+
+    // Comprobar una posición en coordenadas de GameCanvas, como canPlace
+    private boolean fitsAt(int[] rows, Orientation o, int x, int y) {
+        int col = x + o.minCol;
+        int top = y + o.minRow;
+        if (col < 0 || col + o.width > width || top < 0 || top + o.rowBits.length > height) {
+            return false;
+        }
+        return fits(rows, o, col, top);
+    }
+
+    private boolean fits(int[] rows, Orientation o, int col, int top) {
+        for (int k = 0; k < o.rowBits.length; k++) {
+            if ((rows[top + k] & (o.rowBits[k] << col)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Colocar la pieza y devolver las filas no completas (sin rellenar arriba)
+    private int[] place(int[] rows, Orientation o, int col, int top) {
+        int[] placed = rows.clone();
+        for (int k = 0; k < o.rowBits.length; k++) {
+            placed[top + k] |= o.rowBits[k] << col;
+        }
+
+        int full = 0;
+        for (int row : placed) {
+            if (row == fullRow) {
+                full++;
+            }
+        }
+        if (full == 0) {
+            return placed;
+        }
+
+        int[] kept = new int[height - full];
+        int n = 0;
+        for (int row : placed) {
+            if (row != fullRow) {
+                kept[n++] = row;
+            }
+        }
+        return kept;
+    }
+
+    // Precalcular las rotaciones de una pieza recortadas a sus bloques. Las
+    // que tienen la misma forma comparten shapeId.
+    private Orientation[] buildOrientations(int type) {
+        int[][][] rotations = TetrisGame.Shape.getRotations(type);
+        Orientation[] result = new Orientation[rotations.length];
+        for (int r = 0; r < rotations.length; r++) {
+            result[r] = new Orientation(rotations[r]);
+            result[r].shapeId = r;
+            for (int other = 0; other < r; other++) {
+                if (Arrays.equals(result[other].rowBits, result[r].rowBits)) {
+                    result[r].shapeId = result[other].shapeId;
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    // Rotación de una pieza como máscaras de bits por fila
+    private static class Orientation {
+        private int shapeId; // Primera rotación con la misma forma
+        private final int minRow;
+        private final int minCol;
+        private final int width;
+        private final int[] rowBits;
+
+        Orientation(int[][] shape) {
+            int top = Integer.MAX_VALUE, bottom = -1, left = Integer.MAX_VALUE, right = -1;
+            for (int i = 0; i < shape.length; i++) {
+                for (int j = 0; j < shape[i].length; j++) {
+                    if (shape[i][j] != 0) {
+                        top = Math.min(top, i);
+                        bottom = Math.max(bottom, i);
+                        left = Math.min(left, j);
+                        right = Math.max(right, j);
+                    }
+                }
+            }
+            minRow = top;
+            minCol = left;
+            width = right - left + 1;
+            rowBits = new int[bottom - top + 1];
+            for (int i = top; i <= bottom; i++) {
+                for (int j = left; j <= right; j++) {
+                    if (shape[i][j] != 0) {
+                        rowBits[i - top] |= 1 << (j - left);
+                    }
+                }
+            }
+        }
+    }
+
+    // Clave del conjunto de visitados: tablero, pieza actual y líneas eliminadas
+    private static final class BoardKey {
+        private final int[] rows;
+        private final int depth;
+        private final int cleared;
+        private final int hash;
+
+        BoardKey(int[] rows, int depth, int cleared) {
+            this.rows = rows;
+            this.depth = depth;
+            this.cleared = cleared;
+            this.hash = (Arrays.hashCode(rows) * 31 + depth) * 31 + cleared;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof BoardKey)) {
+                return false;
+            }
+            BoardKey other = (BoardKey) obj;
+            return hash == other.hash && depth == other.depth && cleared == other.cleared
+                    && Arrays.equals(rows, other.rows);
+        }
+    }
+
+    // Camino de colocaciones enlazado hacia atrás para no copiar listas
+    private static final class Step {
+        private final Step parent;
+        private final Placement placement;
+
+        Step(Step parent, Placement placement) {
+            this.parent = parent;
+            this.placement = placement;
+        }
+    }
+
+    // Colocación de una pieza en coordenadas de GameCanvas: número de giros a
+    // la derecha desde la posición inicial y esquina superior izquierda de la forma
+    public static final class Placement {
+        private final int type;
+        private final int rotation;
+        private final int x;
+        private final int y;
+
+        Placement(int type, int rotation, int x, int y) {
+            this.type = type;
+            this.rotation = rotation;
+            this.x = x;
+            this.y = y;
+        }
+
+        public int getType() {
+            return type;
+        }
+
+        public int getRotation() {
+            return rotation;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        @Override
+        public String toString() {
+            return "pieza " + type + " giro " + rotation + " en (" + x + ", " + y + ")";
+        }
+    }
+
+    // Resultado de una búsqueda
+    public static final class Result {
+        private final List<Placement> placements; // null si no hay solución con los movimientos del juego
+        private final long nodes;
+        private final long elapsedNanos;
+
+        Result(List<Placement> placements, long nodes, long elapsedNanos) {
+            this.placements = placements;
+            this.nodes = nodes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public boolean isSolved() {
+            return placements != null;
+        }
+
+        public List<Placement> getPlacements() {
+            return placements;
+        }
+
+        public long getNodes() {
+            return nodes;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getNodesPerSecond() {
+            return elapsedNanos == 0 ? 0 : nodes * 1e9 / elapsedNanos;
+        }
+    }
+}
@@ -19,6 +19,8 @@ public class TetrisGame extends JFrame {
     private static final int MIN_DELAY = 100; // Retraso mínimo en milisegundos
     private static final int DELAY_DECREMENT = 50; // Reducción del retraso
     private static final int DELAY_DECREMENT_INTERVAL = 10; // Cada cuántas piezas reducir el retraso
+    private static final int EVENT_BUFFER_SIZE = 1024; // Capacidad del bus de eventos
+    private static final int SHUTDOWN_TIMEOUT = 2000; // Espera máxima al cerrar en milisegundos
 
     // Variables del juego
     private Timer timer;
@@ -33,6 +35,7 @@ public class TetrisGame extends JFrame {
     private GameCanvas canvas;
     private int currentDelay;
     private int pieceCount;
+    private GameEventBus events;
     
     // Constructor
     public TetrisGame() {
@@ -46,6 +49,9 @@ public class TetrisGame extends JFrame {
         // Inicializar componentes
         initComponents();
         
+        // Suscriptores de eventos (interfaz y persistencia)
+        initEvents();
+        
         pack();
         setLocationRelativeTo(null);
     }
@@ -112,6 +118,23 @@ public class TetrisGame extends JFrame {
         add(mainPanel);
     }
     
+    // Registrar suscriptores en el bus de eventos
+    private void initEvents() {
+        events = new GameEventBus(EVENT_BUFFER_SIZE);
+        events.subscribe("ui", new UiEventHandler());
+        events.subscribe("persistence", new PersistenceEventHandler());
+        events.start();
+        
+        // Los suscriptores son hilos daemon y EXIT_ON_CLOSE no los espera:
+        // al salir, dar tiempo a que se guarde un récord pendiente
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                events.awaitDrained(SHUTDOWN_TIMEOUT);
+            }
+        }, "GameEventBus-shutdown"));
+    }
+    
     // Iniciar juego
     private void startGame() {
         if (isStarted) {
@@ -125,7 +148,7 @@ public class TetrisGame extends JFrame {
         currentDelay = INIT_DELAY;
         
         // Actualizar etiquetas
-        scoreLabel.setText("Puntaje: 0");
+        events.scoreChanged(currentScore);
         
         // Inicializar el tablero
         canvas.init();
@@ -154,7 +177,7 @@ public class TetrisGame extends JFrame {
         isGameOver = false;
         isPaused = false;
         currentScore = 0;
-        scoreLabel.setText("Puntaje: 0");
+        events.scoreChanged(currentScore);
 
         canvas.init();
         startGame(); // Iniciar un nuevo juego
@@ -169,30 +192,26 @@ public class TetrisGame extends JFrame {
         // Actualizar récord si es necesario
         if (currentScore > highScore) {
             highScore = currentScore;
-            recordLabel.setText("Récord: " + highScore);
-            saveHighScore();
         }
         
         startButton.setText("Iniciar Juego");
         
-        // Mostrar mensaje de juego terminado
-        JOptionPane.showMessageDialog(this, 
-                "¡Juego terminado!\nPuntaje: " + currentScore, 
-                "Tetris", JOptionPane.INFORMATION_MESSAGE);
+        // La interfaz muestra el mensaje y la persistencia guarda el récord
+        events.gameOver(currentScore, highScore);
     }
     
     // Incrementar puntuación
     private void addScore(int points) {
         currentScore += points;
-        scoreLabel.setText("Puntaje: " + currentScore);
+        events.scoreChanged(currentScore);
     }
     
     // Guardar récord
-    private void saveHighScore() {
+    private void saveHighScore(int record) {
         try {
             File file = new File("highscore.dat");
             FileWriter writer = new FileWriter(file);
-            writer.write(String.valueOf(highScore));
+            writer.write(String.valueOf(record));
             writer.close();
         } catch (IOException e) {
             System.err.println("Error al guardar récord: " + e.getMessage());
@@ -215,6 +234,69 @@ public class TetrisGame extends JFrame {
         }
     }
     
+    // Suscriptor que actualiza las etiquetas y muestra el fin del juego.
+    // Solo publica en el EDT una vez por lote con el último puntaje.
+    private class UiEventHandler implements GameEventHandler {
+        private int pendingScore = -1;
+        
+        @Override
+        public void onEvent(GameEvent event, long sequence, boolean endOfBatch) {
+            switch (event.getType()) {
+                case SCORE_CHANGED:
+                    pendingScore = event.getValue();
+                    break;
+                case GAME_OVER:
+                    flushScore();
+                    final int finalScore = event.getValue();
+                    final int record = event.getExtra();
+                    SwingUtilities.invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            recordLabel.setText("Récord: " + record);
+                            
+                            // Mostrar mensaje de juego terminado
+                            JOptionPane.showMessageDialog(TetrisGame.this, 
+                                    "¡Juego terminado!\nPuntaje: " + finalScore, 
+                                    "Tetris", JOptionPane.INFORMATION_MESSAGE);
+                        }
+                    });
+                    break;
+                default:
+                    break;
+            }
+            if (endOfBatch) {
+                flushScore();
+            }
+        }
+        
+        private void flushScore() {
+            if (pendingScore < 0) {
+                return;
+            }
+            final int score = pendingScore;
+            pendingScore = -1;
+            SwingUtilities.invokeLater(new Runnable() {
+                @Override
+                public void run() {
+                    scoreLabel.setText("Puntaje: " + score);
+                }
+            });
+        }
+    }
+    
+    // Suscriptor que guarda el récord en disco fuera del hilo del juego
+    private class PersistenceEventHandler implements GameEventHandler {
+        private int savedRecord = highScore;
+        
+        @Override
+        public void onEvent(GameEvent event, long sequence, boolean endOfBatch) {
+            if (event.getType() == GameEvent.Type.GAME_OVER && event.getExtra() > savedRecord) {
+                savedRecord = event.getExtra();
+                saveHighScore(savedRecord);
+            }
+        }
+    }
+    
     // Clase para manejar eventos de teclado
     private class TetrisKeyListener extends KeyAdapter {
         @Override
@@ -290,7 +372,9 @@ public class TetrisGame extends JFrame {
             // Verificar si hay espacio para la nueva pieza
             if (!canMove(currentPos.x, currentPos.y)) {
                 gameOver();
+                return; // GAME_OVER debe ser el último evento de la partida
             }
+            events.pieceSpawned(currentPiece.getType());
             
             // Incrementar contador de piezas y ajustar velocidad si es necesario
             pieceCount++;
@@ -302,6 +386,7 @@ public class TetrisGame extends JFrame {
                 if (timer != null) {
                     timer.setDelay(currentDelay);
                 }
+                events.levelUp(pieceCount / DELAY_DECREMENT_INTERVAL, currentDelay);
             }
         }
         
@@ -406,6 +491,8 @@ public class TetrisGame extends JFrame {
                 }
             }
             
+            events.pieceLocked(currentPiece.getType());
+            
             // Añadir puntos por colocar una pieza (10 puntos por pieza)
             addScore(10);
         }
@@ -443,6 +530,7 @@ public class TetrisGame extends JFrame {
             // Añadir puntos por líneas eliminadas (100 puntos por línea, con bonificación por múltiples líneas)
             if (linesCleared > 0) {
                 int points = 100 * linesCleared * linesCleared; // Bonificación cuadrática por múltiples líneas
+                events.linesCleared(linesCleared, points);
                 addScore(points);
             }
         }
@@ -542,10 +630,11 @@ public class TetrisGame extends JFrame {
     }
     
     // Clase para representar las formas de Tetris
-    private static class Shape {
+    static class Shape {
         private int[][] shape;
         private int[][][] shapes; // Para rotación
         private int currentRotation;
+        private int type; // Tipo de pieza (1-7)
         
         // Formas estándar de Tetris (0 = espacio vacío, 1-7 = tipos de bloques)
         private static final int[][][] SHAPES = {
@@ -593,7 +682,8 @@ public class TetrisGame extends JFrame {
             }
         };
         
-        private Shape(int[][] shape) {
+        private Shape(int type, int[][] shape) {
+            this.type = type;
             this.shape = new int[shape.length][shape[0].length];
             for (int i = 0; i < shape.length; i++) {
                 System.arraycopy(shape[i], 0, this.shape[i], 0, shape[i].length);
@@ -613,7 +703,17 @@ public class TetrisGame extends JFrame {
         public static Shape getRandomShape() {
             Random rand = new Random();
             int idx = rand.nextInt(SHAPES.length);
-            return new Shape(SHAPES[idx]);
+            return new Shape(idx + 1, SHAPES[idx]);
+        }
+        
+        // Obtener las cuatro rotaciones de un tipo de pieza (1-7)
+        static int[][][] getRotations(int type) {
+            return new Shape(type, SHAPES[type - 1]).shapes;
+        }
+        
+        // Obtener tipo de pieza
+        public int getType() {
+            return type;
         }
         
         // Obtener dimensiones